@@ -0,0 +1,400 @@
+package com.notifications.system_tray_notifications.basics;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The {@code CompressedSound} class keeps an alarm sound in memory in a compact, lossless form.
+ *
+ * <p>Samples are stored as 16-bit signed PCM split into fixed-size blocks. Inside a block every channel is
+ * predicted with a second-order fixed predictor ({@code 2 * s[n-1] - s[n-2]}) and the residuals are written
+ * with Rice codes whose parameter is chosen per block and channel. A channel whose Rice codes would be larger
+ * than its raw samples, such as noise, is stored verbatim instead. Blocks are byte aligned and independent of
+ * each other, so a player can decode them one at a time into a single reusable buffer instead of keeping the
+ * whole decoded sound in memory.</p>
+ *
+ * <p>Instances are immutable and {@link #decodeBlock(int, byte[])} keeps no state, so one sound can be played
+ * by several threads at the same time.</p>
+ *
+ * @author Muath Hassoun
+ */
+public final class CompressedSound {
+    /**
+     * Number of frames stored in every block (the last block may be shorter).
+     */
+    public static final int FRAMES_PER_BLOCK = 4096;
+
+    /**
+     * Quotients at or above this value are escaped and written as raw {@link #RAW_BITS}-bit values.
+     */
+    private static final int ESCAPE_QUOTIENT = 24;
+
+    /**
+     * Width of an escaped residual. Second-order residuals of 16-bit samples need at most 19 bits after zigzag.
+     */
+    private static final int RAW_BITS = 20;
+
+    /**
+     * Largest Rice parameter tried by the encoder.
+     */
+    private static final int MAX_RICE_PARAMETER = 19;
+
+    /**
+     * Bits written before the residuals of a Rice-coded channel: the parameter and the first sample.
+     */
+    private static final int RICE_HEADER_BITS = 5 + 16;
+
+    private final AudioFormat format;
+    private final int frameCount;
+    private final byte[] data;
+    private final int[] blockOffsets;
+
+    private CompressedSound(AudioFormat format, int frameCount, byte[] data, int[] blockOffsets) {
+        this.format = format;
+        this.frameCount = frameCount;
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * Reads the whole audio stream and encodes it.
+     * Streams that are not 16-bit signed PCM are converted first using the Java Sound API.
+     *
+     * @param audioStream The audio stream to encode. It is read to the end but not closed.
+     * @return The compressed sound.
+     * @throws IOException If the stream cannot be read.
+     * @throws IllegalArgumentException If the stream cannot be converted to 16-bit signed PCM.
+     */
+    public static CompressedSound encode(AudioInputStream audioStream) throws IOException {
+        AudioFormat source = audioStream.getFormat();
+        AudioFormat target = new AudioFormat(
+                AudioFormat.Encoding.PCM_SIGNED,
+                source.getSampleRate(), 16,
+                source.getChannels(), source.getChannels() * 2,
+                source.getSampleRate(), false
+        );
+        AudioInputStream pcmStream = audioStream;
+        if (!source.matches(target)) {
+            if (!AudioSystem.isConversionSupported(target, source)) {
+                throw new IllegalArgumentException("Unsupported audio format: " + source);
+            }
+            pcmStream = AudioSystem.getAudioInputStream(target, audioStream);
+        }
+        byte[] pcm = pcmStream.readAllBytes();
+        return encode(target, pcm, pcm.length / target.getFrameSize());
+    }
+
+    /**
+     * Encodes raw 16-bit little-endian signed PCM samples.
+     *
+     * @param format     The format of the samples; must be 16-bit signed little-endian PCM.
+     * @param pcm        The interleaved sample bytes.
+     * @param frameCount The number of frames in {@code pcm}.
+     * @return The compressed sound.
+     */
+    private static CompressedSound encode(AudioFormat format, byte[] pcm, int frameCount) {
+        int channels = format.getChannels();
+        int blockCount = (frameCount + FRAMES_PER_BLOCK - 1) / FRAMES_PER_BLOCK;
+        int[] blockOffsets = new int[blockCount + 1];
+        int[] samples = new int[FRAMES_PER_BLOCK];
+        int[] residuals = new int[FRAMES_PER_BLOCK];
+        BitWriter writer = new BitWriter(pcm.length / 2);
+
+        for (int block = 0; block < blockCount; block++) {
+            blockOffsets[block] = writer.size();
+            int firstFrame = block * FRAMES_PER_BLOCK;
+            int frames = Math.min(FRAMES_PER_BLOCK, frameCount - firstFrame);
+            for (int channel = 0; channel < channels; channel++) {
+                for (int i = 0; i < frames; i++) {
+                    int offset = ((firstFrame + i) * channels + channel) * 2;
+                    samples[i] = (short) ((pcm[offset] & 0xFF) | (pcm[offset + 1] << 8));
+                }
+                encodeChannel(writer, samples, residuals, frames);
+            }
+            writer.alignToByte();
+        }
+        blockOffsets[blockCount] = writer.size();
+        return new CompressedSound(format, frameCount, writer.toByteArray(), blockOffsets);
+    }
+
+    /**
+     * Writes one channel of one block. A flag bit selects the layout: {@code 0} is followed by the Rice parameter,
+     * the first sample and the Rice-coded residuals; {@code 1} is followed by the raw 16-bit samples, used when
+     * the Rice codes would not be smaller.
+     */
+    private static void encodeChannel(BitWriter writer, int[] samples, int[] residuals, int frames) {
+        for (int i = 1; i < frames; i++) {
+            int prediction = i == 1 ? samples[0] : 2 * samples[i - 1] - samples[i - 2];
+            residuals[i] = zigzag(samples[i] - prediction);
+        }
+        int k = chooseRiceParameter(residuals, frames);
+        if (RICE_HEADER_BITS + riceBits(residuals, frames, k) >= (long) frames * 16) {
+            writer.write(1, 1);
+            for (int i = 0; i < frames; i++) {
+                writer.write(samples[i] & 0xFFFF, 16);
+            }
+            return;
+        }
+        writer.write(0, 1);
+        writer.write(k, 5);
+        writer.write(samples[0] & 0xFFFF, 16);
+        for (int i = 1; i < frames; i++) {
+            int quotient = residuals[i] >>> k;
+            if (quotient >= ESCAPE_QUOTIENT) {
+                writer.writeOnes(ESCAPE_QUOTIENT);
+                writer.write(residuals[i], RAW_BITS);
+            } else {
+                writer.writeOnes(quotient);
+                writer.write(0, 1);
+                writer.write(residuals[i] & ((1 << k) - 1), k);
+            }
+        }
+    }
+
+    /**
+     * Picks the Rice parameter that produces the fewest bits for the given residuals.
+     */
+    private static int chooseRiceParameter(int[] residuals, int frames) {
+        int bestK = 0;
+        long bestBits = Long.MAX_VALUE;
+        for (int k = 0; k <= MAX_RICE_PARAMETER; k++) {
+            long bits = riceBits(residuals, frames, k);
+            if (bits < bestBits) {
+                bestBits = bits;
+                bestK = k;
+            }
+        }
+        return bestK;
+    }
+
+    /**
+     * Counts the bits needed to write the residuals with Rice parameter {@code k}.
+     */
+    private static long riceBits(int[] residuals, int frames, int k) {
+        long bits = 0;
+        for (int i = 1; i < frames; i++) {
+            int quotient = residuals[i] >>> k;
+            bits += quotient >= ESCAPE_QUOTIENT ? ESCAPE_QUOTIENT + RAW_BITS : quotient + 1 + k;
+        }
+        return bits;
+    }
+
+    /**
+     * Decodes one block into {@code out} as interleaved 16-bit little-endian signed PCM.
+     *
+     * @param block The index of the block, from {@code 0} to {@link #getBlockCount()} - 1.
+     * @param out   The destination buffer; must hold at least {@link #getMaxBlockByteSize()} bytes.
+     * @return The number of bytes written to {@code out}.
+     * @throws IndexOutOfBoundsException If the block index is out of range.
+     */
+    public int decodeBlock(int block, byte[] out) {
+        if (block < 0 || block >= getBlockCount()) {
+            throw new IndexOutOfBoundsException("Invalid block index: " + block);
+        }
+        int channels = format.getChannels();
+        int frames = Math.min(FRAMES_PER_BLOCK, frameCount - block * FRAMES_PER_BLOCK);
+        BitReader reader = new BitReader(data, blockOffsets[block]);
+
+        for (int channel = 0; channel < channels; channel++) {
+            if (reader.read(1) == 1) {
+                for (int i = 0; i < frames; i++) {
+                    writeSample(out, (i * channels + channel) * 2, reader.read(16));
+                }
+                continue;
+            }
+            int k = reader.read(5);
+            int previous = (short) reader.read(16);
+            int beforePrevious = previous;
+            writeSample(out, channel * 2, previous);
+            for (int i = 1; i < frames; i++) {
+                int quotient = reader.readUnary(ESCAPE_QUOTIENT);
+                int zigzag = quotient >= ESCAPE_QUOTIENT
+                        ? reader.read(RAW_BITS)
+                        : (quotient << k) | reader.read(k);
+                int prediction = i == 1 ? previous : 2 * previous - beforePrevious;
+                int sample = prediction + unzigzag(zigzag);
+                writeSample(out, (i * channels + channel) * 2, sample);
+                beforePrevious = previous;
+                previous = sample;
+            }
+        }
+        return frames * channels * 2;
+    }
+
+    private static void writeSample(byte[] out, int offset, int sample) {
+        out[offset] = (byte) sample;
+        out[offset + 1] = (byte) (sample >> 8);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes the whole sound at once, for callers that need the raw PCM in one piece
+     * (for example to open a {@code Clip}).
+     *
+     * @return The decoded sound as interleaved 16-bit little-endian signed PCM.
+     */
+    public byte[] decodeAll() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) getRawByteSize());
+        byte[] chunk = new byte[getMaxBlockByteSize()];
+        for (int block = 0; block < getBlockCount(); block++) {
+            out.write(chunk, 0, decodeBlock(block, chunk));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return The format of the decoded samples (16-bit signed little-endian PCM).
+     */
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return The number of frames in the sound.
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return The number of independently decodable blocks.
+     */
+    public int getBlockCount() {
+        return blockOffsets.length - 1;
+    }
+
+    /**
+     * @return The size of the buffer needed by {@link #decodeBlock(int, byte[])}.
+     */
+    public int getMaxBlockByteSize() {
+        return FRAMES_PER_BLOCK * format.getFrameSize();
+    }
+
+    /**
+     * @return The length of the sound in seconds.
+     */
+    public double getDurationSeconds() {
+        return frameCount / (double) format.getFrameRate();
+    }
+
+    /**
+     * @return The number of bytes the sound would take as raw PCM.
+     */
+    public long getRawByteSize() {
+        return (long) frameCount * format.getFrameSize();
+    }
+
+    /**
+     * @return The number of bytes held by the compressed data and the block index.
+     */
+    public long getCompressedByteSize() {
+        return data.length + (long) blockOffsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Collects bits most-significant first into a growable byte array.
+     */
+    private static final class BitWriter {
+        private byte[] bytes;
+        private int size;
+        private long buffer;
+        private int bufferedBits;
+
+        BitWriter(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void write(int value, int bits) {
+            if (bits == 0) {
+                return;
+            }
+            buffer = (buffer << bits) | (value & ((1L << bits) - 1));
+            bufferedBits += bits;
+            while (bufferedBits >= 8) {
+                bufferedBits -= 8;
+                put((byte) (buffer >>> bufferedBits));
+            }
+        }
+
+        void writeOnes(int count) {
+            while (count > 0) {
+                int bits = Math.min(count, 24);
+                write((1 << bits) - 1, bits);
+                count -= bits;
+            }
+        }
+
+        void alignToByte() {
+            if (bufferedBits > 0) {
+                write(0, 8 - bufferedBits);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void put(byte value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = value;
+        }
+    }
+
+    /**
+     * Reads bits most-significant first from a byte array.
+     */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private int position;
+        private long buffer;
+        private int bufferedBits;
+
+        BitReader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int read(int bits) {
+            if (bits == 0) {
+                return 0;
+            }
+            fill(bits);
+            bufferedBits -= bits;
+            return (int) ((buffer >>> bufferedBits) & ((1L << bits) - 1));
+        }
+
+        int readUnary(int limit) {
+            fill(limit);
+            int window = (int) (buffer >>> (bufferedBits - limit)) << (32 - limit);
+            int ones = Math.min(Integer.numberOfLeadingZeros(~window), limit);
+            bufferedBits -= ones < limit ? ones + 1 : limit;
+            return ones;
+        }
+
+        private void fill(int bits) {
+            while (bufferedBits < bits) {
+                int next = position < bytes.length ? bytes[position] & 0xFF : 0;
+                position++;
+                buffer = (buffer << 8) | next;
+                bufferedBits += 8;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.notifications.system_tray_notifications.basics;
+
+import java.awt.TrayIcon;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * The {@code HistoryEntry} class is one notification read back from a {@link NotificationHistory}.
+ * Text fields may be shortened, since the history stores them in fixed-size slots.
+ *
+ * @author Muath Hassoun
+ */
+public class HistoryEntry {
+	private final long sequence;
+	private final long timeMillis;
+	private final TrayIcon.MessageType type;
+	private final String appTitle;
+	private final String alarmTitle;
+	private final String alarmMessage;
+
+	/**
+	 * Constructs a new {@code HistoryEntry}.
+	 *
+	 * @param sequence     The position of the notification in the history, starting at 1.
+	 * @param timeMillis   The time the notification was shown, in milliseconds since the epoch.
+	 * @param type         The type of the tray message.
+	 * @param appTitle     The title of the application that sent the notification.
+	 * @param alarmTitle   The title of the alarm/notification.
+	 * @param alarmMessage The message content of the alarm/notification.
+	 */
+	public HistoryEntry(
+			long sequence, long timeMillis, TrayIcon.MessageType type,
+			String appTitle, String alarmTitle, String alarmMessage
+	){
+		this.sequence = sequence;
+		this.timeMillis = timeMillis;
+		this.type = type;
+		this.appTitle = appTitle;
+		this.alarmTitle = alarmTitle;
+		this.alarmMessage = alarmMessage;
+	}
+
+	/**
+	 * @return The position of the notification in the history, starting at 1.
+	 */
+	public long getSequence(){
+		return sequence;
+	}
+
+	/**
+	 * @return The time the notification was shown, in milliseconds since the epoch.
+	 */
+	public long getTimeMillis(){
+		return timeMillis;
+	}
+
+	/**
+	 * @return The type of the tray message.
+	 */
+	public TrayIcon.MessageType getType(){
+		return type;
+	}
+
+	/**
+	 * @return The title of the application that sent the notification.
+	 */
+	public String getAppTitle(){
+		return appTitle;
+	}
+
+	/**
+	 * @return The title of the alarm/notification.
+	 */
+	public String getAlarmTitle(){
+		return alarmTitle;
+	}
+
+	/**
+	 * @return The message content of the alarm/notification.
+	 */
+	public String getAlarmMessage(){
+		return alarmMessage;
+	}
+
+	@Override
+	public String toString(){
+		return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(timeMillis))
+				+ " [" + type + "] " + appTitle + " - " + alarmTitle + ": " + alarmMessage;
+	}
+}
@@ -0,0 +1,355 @@
+package com.notifications.system_tray_notifications.basics;
+
+import java.awt.TrayIcon;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code NotificationHistory} class keeps the most recent notifications in a fixed-size ring buffer.
+ *
+ * <p>Each notification is stored in a {@value #RECORD_SIZE}-byte slot outside the Java heap, either in a direct
+ * buffer or in a memory-mapped file that survives restarts. When the buffer is full the oldest notification is
+ * overwritten, so memory use depends only on the capacity, not on how long the application runs.</p>
+ *
+ * <p>Slot layout (all numbers big-endian):</p>
+ * <pre>
+ * offset  size  field
+ *      0     8  sequence number (0 = empty slot)
+ *      8     8  time in milliseconds since the epoch
+ *     16     4  hash code of the full application title
+ *     20     1  message type (ordinal of {@link TrayIcon.MessageType})
+ *     21     1  application title length in bytes
+ *     22     1  alarm title length in bytes
+ *     23     1  alarm message length in bytes
+ *     24     8  reserved
+ *     32    32  application title (UTF-8, cut to fit)
+ *     64    64  alarm title (UTF-8, cut to fit)
+ *    128   128  alarm message (UTF-8, cut to fit)
+ * </pre>
+ *
+ * <p>Queries only read the fixed header of each slot and decode the text of matching slots,
+ * so filtering by application title, time range and type stays cheap.</p>
+ *
+ * <p>Only one instance may be open for a file at a time, in this process or any other. Two instances keep separate
+ * sequence numbers and would overwrite each other's notifications. {@link #close()} an instance before opening
+ * the file again.</p>
+ *
+ * @author Muath Hassoun
+ */
+public class NotificationHistory implements AutoCloseable {
+    /**
+     * Size of one stored notification in bytes.
+     */
+    public static final int RECORD_SIZE = 256;
+
+    private static final int FILE_MAGIC = 0x53544E48; // "STNH"
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIME_OFFSET = 8;
+    private static final int APP_HASH_OFFSET = 16;
+    private static final int TYPE_OFFSET = 20;
+    private static final int APP_LENGTH_OFFSET = 21;
+    private static final int TITLE_LENGTH_OFFSET = 22;
+    private static final int MESSAGE_LENGTH_OFFSET = 23;
+    private static final int APP_OFFSET = 32;
+    private static final int APP_SIZE = 32;
+    private static final int TITLE_OFFSET = 64;
+    private static final int TITLE_SIZE = 64;
+    private static final int MESSAGE_OFFSET = 128;
+    private static final int MESSAGE_SIZE = 128;
+
+    private static final TrayIcon.MessageType[] messageTypes = TrayIcon.MessageType.values();
+
+    private ByteBuffer buffer;
+    private final int capacity;
+    private long nextSequence = 1;
+
+    /**
+     * Constructs a history kept in off-heap memory.
+     *
+     * @param capacity The maximum number of notifications to keep.
+     * @throws IllegalArgumentException If the capacity is not positive or too large.
+     */
+    public NotificationHistory(int capacity) {
+        this.capacity = checkCapacity(capacity);
+        this.buffer = ByteBuffer.allocateDirect(FILE_HEADER_SIZE + capacity * RECORD_SIZE);
+        writeFileHeader();
+    }
+
+    /**
+     * Constructs a history backed by a memory-mapped file.
+     * <p>
+     * If the file already holds a history with the same capacity, its notifications are kept.
+     * Otherwise, the file is reset. No other instance may have the file open.
+     *
+     * @param capacity The maximum number of notifications to keep.
+     * @param file     The file that stores the history.
+     * @throws IOException If the file cannot be opened or mapped.
+     * @throws IllegalArgumentException If the capacity is not positive or too large.
+     */
+    public NotificationHistory(int capacity, Path file) throws IOException {
+        this.capacity = checkCapacity(capacity);
+        long size = FILE_HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean isExisting = channel.size() == size;
+            // Truncate before mapping: a mapped file cannot be shrunk on every platform (e.g. Windows).
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (isExisting && hasValidFileHeader()) {
+                recoverNextSequence();
+            } else {
+                clear();
+            }
+        }
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - FILE_HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("Invalid history capacity: " + capacity);
+        }
+        return capacity;
+    }
+
+    private void writeFileHeader() {
+        buffer.putInt(0, FILE_MAGIC);
+        buffer.putInt(4, FILE_VERSION);
+        buffer.putInt(8, capacity);
+        buffer.putInt(12, RECORD_SIZE);
+    }
+
+    private boolean hasValidFileHeader() {
+        return buffer.getInt(0) == FILE_MAGIC
+                && buffer.getInt(4) == FILE_VERSION
+                && buffer.getInt(8) == capacity
+                && buffer.getInt(12) == RECORD_SIZE;
+    }
+
+    /**
+     * Continues numbering after the newest notification found in a reopened file.
+     */
+    private void recoverNextSequence() {
+        long newest = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            newest = Math.max(newest, buffer.getLong(slotOffset(slot) + SEQUENCE_OFFSET));
+        }
+        nextSequence = newest + 1;
+    }
+
+    private int slotOffset(int slot) {
+        return FILE_HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private int sequenceOffset(long sequence) {
+        return slotOffset((int) ((sequence - 1) % capacity));
+    }
+
+    /**
+     * Adds a notification shown now, overwriting the oldest one if the history is full.
+     *
+     * @param appTitle     The title of the application sending the notification.
+     * @param alarmTitle   The title of the alarm/notification.
+     * @param alarmMessage The message content of the alarm/notification.
+     * @param type         The type of the tray message.
+     */
+    public void add(String appTitle, String alarmTitle, String alarmMessage, TrayIcon.MessageType type) {
+        add(System.currentTimeMillis(), appTitle, alarmTitle, alarmMessage, type);
+    }
+
+    /**
+     * Adds a notification, overwriting the oldest one if the history is full.
+     * Text that does not fit its slot is cut at a character boundary.
+     *
+     * @param timeMillis   The time the notification was shown, in milliseconds since the epoch.
+     * @param appTitle     The title of the application sending the notification.
+     * @param alarmTitle   The title of the alarm/notification.
+     * @param alarmMessage The message content of the alarm/notification.
+     * @param type         The type of the tray message.
+     * @throws IllegalStateException If the history is closed.
+     */
+    public synchronized void add(long timeMillis, String appTitle, String alarmTitle, String alarmMessage, TrayIcon.MessageType type) {
+        checkOpen();
+        long sequence = nextSequence++;
+        int offset = sequenceOffset(sequence);
+        byte[] app = encode(appTitle, APP_SIZE);
+        byte[] title = encode(alarmTitle, TITLE_SIZE);
+        byte[] message = encode(alarmMessage, MESSAGE_SIZE);
+
+        // Mark the slot empty while it is rewritten, so a reopened file never sees half a record.
+        buffer.putLong(offset + SEQUENCE_OFFSET, 0);
+        buffer.putLong(offset + TIME_OFFSET, timeMillis);
+        buffer.putInt(offset + APP_HASH_OFFSET, appTitle == null ? 0 : appTitle.hashCode());
+        buffer.put(offset + TYPE_OFFSET, (byte) (type == null ? TrayIcon.MessageType.NONE : type).ordinal());
+        buffer.put(offset + APP_LENGTH_OFFSET, (byte) app.length);
+        buffer.put(offset + TITLE_LENGTH_OFFSET, (byte) title.length);
+        buffer.put(offset + MESSAGE_LENGTH_OFFSET, (byte) message.length);
+        buffer.put(offset + APP_OFFSET, app);
+        buffer.put(offset + TITLE_OFFSET, title);
+        buffer.put(offset + MESSAGE_OFFSET, message);
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+    }
+
+    /**
+     * Returns the most recent notifications, newest first.
+     *
+     * @param limit The maximum number of notifications to return.
+     * @return The matching notifications.
+     */
+    public List<HistoryEntry> getRecent(int limit) {
+        return query(null, Long.MIN_VALUE, Long.MAX_VALUE, null, limit);
+    }
+
+    /**
+     * Finds stored notifications, newest first. A {@code null} filter matches everything.
+     *
+     * @param appTitle   The application title to match, or {@code null}.
+     * @param fromMillis The earliest time to include, in milliseconds since the epoch.
+     * @param toMillis   The latest time to include, in milliseconds since the epoch.
+     * @param type       The message type to match, or {@code null}.
+     * @param limit      The maximum number of notifications to return.
+     * @return The matching notifications.
+     * @throws IllegalStateException If the history is closed.
+     */
+    public synchronized List<HistoryEntry> query(String appTitle, long fromMillis, long toMillis, TrayIcon.MessageType type, int limit) {
+        checkOpen();
+        List<HistoryEntry> result = new ArrayList<>();
+        byte[] app = appTitle == null ? null : encode(appTitle, APP_SIZE);
+        int appHash = appTitle == null ? 0 : appTitle.hashCode();
+        long oldest = Math.max(1, nextSequence - capacity);
+
+        for (long sequence = nextSequence - 1; sequence >= oldest && result.size() < limit; sequence--) {
+            int offset = sequenceOffset(sequence);
+            if (buffer.getLong(offset + SEQUENCE_OFFSET) != sequence) {
+                continue;
+            }
+            long timeMillis = buffer.getLong(offset + TIME_OFFSET);
+            if (timeMillis < fromMillis || timeMillis > toMillis) {
+                continue;
+            }
+            if (type != null && buffer.get(offset + TYPE_OFFSET) != type.ordinal()) {
+                continue;
+            }
+            if (app != null && (buffer.getInt(offset + APP_HASH_OFFSET) != appHash || !appTitleEquals(offset, app))) {
+                continue;
+            }
+            result.add(new HistoryEntry(
+                    sequence, timeMillis,
+                    decodeType(buffer.get(offset + TYPE_OFFSET)),
+                    decode(offset + APP_OFFSET, buffer.get(offset + APP_LENGTH_OFFSET)),
+                    decode(offset + TITLE_OFFSET, buffer.get(offset + TITLE_LENGTH_OFFSET)),
+                    decode(offset + MESSAGE_OFFSET, buffer.get(offset + MESSAGE_LENGTH_OFFSET))
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Compares the stored application title of a slot with already encoded bytes.
+     */
+    private boolean appTitleEquals(int offset, byte[] app) {
+        if ((buffer.get(offset + APP_LENGTH_OFFSET) & 0xFF) != app.length) {
+            return false;
+        }
+        for (int i = 0; i < app.length; i++) {
+            if (buffer.get(offset + APP_OFFSET + i) != app[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes text as UTF-8, cut at a character boundary so it fits in {@code maxBytes}.
+     */
+    private static byte[] encode(String text, int maxBytes) {
+        if (text == null) {
+            return new byte[0];
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int length = maxBytes;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        byte[] cut = new byte[length];
+        System.arraycopy(bytes, 0, cut, 0, length);
+        return cut;
+    }
+
+    private static TrayIcon.MessageType decodeType(byte ordinal) {
+        return ordinal >= 0 && ordinal < messageTypes.length ? messageTypes[ordinal] : TrayIcon.MessageType.NONE;
+    }
+
+    private String decode(int offset, byte length) {
+        byte[] bytes = new byte[length & 0xFF];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The number of notifications currently stored.
+     */
+    public synchronized int size() {
+        return (int) Math.min(nextSequence - 1, capacity);
+    }
+
+    /**
+     * @return The maximum number of notifications kept.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every notification from the history.
+     *
+     * @throws IllegalStateException If the history is closed.
+     */
+    public synchronized void clear() {
+        checkOpen();
+        for (int slot = 0; slot < capacity; slot++) {
+            buffer.putLong(slotOffset(slot) + SEQUENCE_OFFSET, 0);
+        }
+        writeFileHeader();
+        nextSequence = 1;
+        flush();
+    }
+
+    /**
+     * Writes the history to its file if it is backed by one. Does nothing for an in-memory or closed history.
+     */
+    public synchronized void flush() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Writes the history to its file if it is backed by one and releases its buffer.
+     * The memory or mapping is freed once the buffer is garbage collected. Closing twice has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        buffer = null;
+    }
+
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("The notification history is closed.");
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.notifications.system_tray_notifications.influence;
 import static com.notifications.system_tray_notifications.influence.DisplayMessages.printErrorMessage;
 import static com.notifications.system_tray_notifications.system_tray.SystemTrayNotification.*;
 
+import com.notifications.system_tray_notifications.basics.CompressedSound;
+
 import javax.sound.sampled.*;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The {@code PlaySounds} class provides functionality to play sound files
@@ -19,6 +25,20 @@ import java.io.InputStream;
  */
 public class PlaySounds {
     
+    /**
+     * Plays compressed sounds one after another on a single daemon thread.
+     */
+    private static final ExecutorService player = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "PlaySounds");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Names of the compressed sounds waiting for or being played by {@link #player}.
+     */
+    private static final Set<String> queuedSounds = ConcurrentHashMap.newKeySet();
+    
     /**
      * Plays a sound file from the resources' folder.
      *
@@ -42,17 +62,84 @@ public class PlaySounds {
             clip.addLineListener(event -> {
                 if (event.getType() == LineEvent.Type.STOP) {
                     clip.close();
-                    if (removeIconAfterAlert && systemTray != null && trayIcon != null) {
-                        try {
-                            systemTray.remove(trayIcon);
-                        } catch (Exception e) {
-                            printErrorMessage(e);
-                        }
-                    }
+                    removeTrayIconIfRequested();
                 }
             });
         } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
             printErrorMessage(e);
         }
     }
+
+    /**
+     * Plays a sound from the {@link SoundCatalog}, decoding it block by block while it plays.
+     * <p>
+     * Unlike {@link #playSound(String)}, the decoded audio is never held in memory as a whole:
+     * each block is decoded into one reusable buffer and written to a {@link SourceDataLine}
+     * on a background thread.
+     * <p>
+     * Sounds are played one at a time on a single thread, with one audio line open at most. A request for a sound
+     * that is already waiting or playing is skipped, so a fast repeating alarm cannot pile up playbacks.
+     *
+     * @param fileName The name of the sound file in the resources' folder, or of a custom tone
+     *                 registered with {@link SoundCatalog#register(String, AudioInputStream)}.
+     *
+     * @throws IllegalArgumentException If the specified sound cannot be found.
+     */
+    public static void playCompressedSound(String fileName) {
+        CompressedSound sound;
+        try {
+            sound = SoundCatalog.getSound(fileName);
+        } catch (UnsupportedAudioFileException | IOException e) {
+            printErrorMessage(e);
+            return;
+        }
+        if (!queuedSounds.add(fileName)) {
+            return;
+        }
+        player.execute(() -> {
+            try {
+                playBlocks(sound);
+            } finally {
+                queuedSounds.remove(fileName);
+            }
+        });
+    }
+
+    /**
+     * Decodes a compressed sound block by block and writes it to a new audio line, waiting until it has played.
+     */
+    private static void playBlocks(CompressedSound sound) {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(sound.getFormat());
+            line.open(sound.getFormat(), sound.getMaxBlockByteSize() * 2);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            printErrorMessage(e);
+            return;
+        }
+        try {
+            byte[] buffer = new byte[sound.getMaxBlockByteSize()];
+            line.start();
+            for (int block = 0; block < sound.getBlockCount(); block++) {
+                line.write(buffer, 0, sound.decodeBlock(block, buffer));
+            }
+            line.drain();
+        } finally {
+            line.close();
+            removeTrayIconIfRequested();
+        }
+    }
+
+    /**
+     * Removes the tray icon after a sound finishes if {@code removeIconAfterAlert} is set to true.
+     */
+    private static void removeTrayIconIfRequested() {
+        if (removeIconAfterAlert && systemTray != null && trayIcon != null) {
+            try {
+                systemTray.remove(trayIcon);
+            } catch (Exception e) {
+                printErrorMessage(e);
+            }
+        }
+    }
 }
\ No newline at end of file
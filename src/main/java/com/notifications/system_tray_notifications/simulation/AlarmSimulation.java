@@ -0,0 +1,243 @@
+package com.notifications.system_tray_notifications.simulation;
+
+import com.notifications.system_tray_notifications.basics.AlarmSounds;
+import com.notifications.system_tray_notifications.system_tray.AlarmScheduler;
+import com.notifications.system_tray_notifications.system_tray.AlarmSink;
+import com.notifications.system_tray_notifications.system_tray.AlarmTimer;
+import com.notifications.system_tray_notifications.system_tray.SystemTrayNotification;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AlarmSimulation} class replays a {@link NotificationTrace} on a {@link VirtualClock}
+ * for load testing and capacity planning.
+ * <p>
+ * The replay runs the application's own scheduling path. A {@link VirtualAlarmScheduler} is installed as
+ * {@link SystemTrayNotification#scheduler}, and every create event schedules its notification with
+ * {@link SystemTrayNotification#scheduleAlarm(AlarmSounds, String, String, String, int, boolean)},
+ * using the trace id as its application title. Cancel events stop the notification's timer. Fire events record
+ * what the timers did in production, so they are counted for comparison but not replayed; the replay's own
+ * timers produce the alarms. Fired alarms go through
+ * {@link SystemTrayNotification#fireAlarm(AlarmSounds, String, String, String)} into a {@link RecordingAlarmSink},
+ * so no sound is played and nothing is shown in the tray.
+ * <p>
+ * Because time only moves from one event to the next, hours of alarms replay in milliseconds.
+ * The result is a {@link SimulationReport} with fire lag, coalesced and dropped alarms, and memory growth.
+ *
+ * @author Muath Hassoun
+ */
+public class AlarmSimulation {
+    private static final long NO_EVENT = Long.MAX_VALUE;
+
+    /**
+     * Number of loop steps between two heap samples.
+     */
+    private static final int HEAP_SAMPLE_INTERVAL = 1024;
+
+    private final int dispatchCostMillis;
+    private final boolean isCoalescing;
+    private final int maxPendingAlarms;
+
+    /**
+     * Constructs a new {@code AlarmSimulation}.
+     *
+     * @param dispatchCostMillis The time (in milliseconds) the dispatcher is busy after handling one alarm.
+     * @param isCoalescing       Whether timers coalesce expirations while an alarm is still pending,
+     *                           like {@code Timer.setCoalesce(true)}, the Swing default.
+     * @param maxPendingAlarms   The number of alarms that may wait for the dispatcher; further alarms are dropped.
+     * @throws IllegalArgumentException If the dispatch cost is negative or the pending limit is not positive.
+     */
+    public AlarmSimulation(int dispatchCostMillis, boolean isCoalescing, int maxPendingAlarms) {
+        if (dispatchCostMillis < 0 || maxPendingAlarms <= 0) {
+            throw new IllegalArgumentException("Invalid simulation settings.");
+        }
+        this.dispatchCostMillis = dispatchCostMillis;
+        this.isCoalescing = isCoalescing;
+        this.maxPendingAlarms = maxPendingAlarms;
+    }
+
+    /**
+     * Replays a trace until its last event.
+     *
+     * @param trace The trace to replay.
+     * @return The results of the replay.
+     */
+    public SimulationReport run(NotificationTrace trace) {
+        return run(trace, trace.getEndTimeMillis());
+    }
+
+    /**
+     * Replays a trace until the given virtual time. Repeating timers keep firing after the last trace event
+     * until that time is reached.
+     * <p>
+     * The virtual clock starts at the time of the first trace event, so traces may use any time base,
+     * such as milliseconds since the epoch, and the report covers the time from the first event on.
+     * <p>
+     * The recording sink and the virtual scheduler are installed before the heap is first sampled, so loading
+     * {@link SystemTrayNotification} is not counted as growth. The previous sink, scheduler and current timer are
+     * restored afterwards, so no simulated timer outlives the run.
+     *
+     * @param trace          The trace to replay.
+     * @param runUntilMillis The virtual time at which the replay stops, in the time base of the trace.
+     * @return The results of the replay.
+     */
+    public SimulationReport run(NotificationTrace trace, long runUntilMillis) {
+        SimulationReport report = new SimulationReport();
+        List<TraceEvent> events = trace.getEvents();
+        RecordingAlarmSink sink = new RecordingAlarmSink();
+        long startMillis = events.isEmpty() ? 0 : events.get(0).getTimeMillis();
+        VirtualClock clock = new VirtualClock(startMillis);
+        VirtualAlarmScheduler scheduler = new VirtualAlarmScheduler(clock, dispatchCostMillis, maxPendingAlarms);
+        Map<String, VirtualAlarmScheduler.VirtualTimer> timers = new HashMap<>();
+        int nextEvent = 0;
+        long steps = 0;
+
+        AlarmSink previousSink = SystemTrayNotification.alarmSink;
+        AlarmScheduler previousScheduler = SystemTrayNotification.scheduler;
+        AlarmTimer previousTimer = SystemTrayNotification.getTimer();
+        SystemTrayNotification.alarmSink = sink;
+        SystemTrayNotification.scheduler = scheduler;
+
+        long heapBefore = liveHeapBytes();
+        long peakHeap = heapBefore;
+        long wallStart = System.nanoTime();
+        try {
+            while (true) {
+                long traceTime = nextEvent < events.size() ? events.get(nextEvent).getTimeMillis() : NO_EVENT;
+                long schedulerTime = scheduler.getNextEventMillis();
+                if (Math.min(traceTime, schedulerTime) > runUntilMillis) {
+                    break;
+                }
+                if (traceTime <= schedulerTime) {
+                    clock.advanceTo(traceTime);
+                    applyTraceEvent(events.get(nextEvent++), timers, report);
+                } else {
+                    scheduler.runNextEvent();
+                }
+                if (++steps % HEAP_SAMPLE_INTERVAL == 0) {
+                    peakHeap = Math.max(peakHeap, heapAfterLastCollection());
+                }
+            }
+        } finally {
+            SystemTrayNotification.alarmSink = previousSink;
+            SystemTrayNotification.scheduler = previousScheduler;
+            SystemTrayNotification.setTimer(previousTimer);
+        }
+        report.wallNanos = System.nanoTime() - wallStart;
+        report.simulatedMillis = clock.currentTimeMillis() - startMillis;
+        report.alarmsFired = scheduler.getEventsFired();
+        report.alarmsCoalesced = scheduler.getEventsCoalesced();
+        report.alarmsDropped = scheduler.getEventsDropped();
+        report.alarmsStillPending = scheduler.getPendingEvents();
+        report.peakActiveNotifications = scheduler.getPeakRunningTimers();
+        report.peakPendingAlarms = scheduler.getPeakPendingEvents();
+        report.soundsPlayed = sink.getSoundsPlayed();
+        report.messagesDisplayed = sink.getMessagesDisplayed();
+        report.meanLagMillis = scheduler.getMeanLagMillis();
+        report.medianLagMillis = scheduler.getLagPercentileMillis(0.50);
+        report.p99LagMillis = scheduler.getLagPercentileMillis(0.99);
+        report.maxLagMillis = scheduler.getMaxLagMillis();
+
+        long heapAfter = liveHeapBytes();
+        report.peakHeapGrowthBytes = Math.max(peakHeap, heapAfter) - heapBefore;
+        report.retainedHeapGrowthBytes = heapAfter - heapBefore;
+        // The scheduler, sink and timer map existed when the heap was first sampled. Keep them reachable until the
+        // last sample, so compiled code does not let them be collected early and report negative growth.
+        Reference.reachabilityFence(scheduler);
+        Reference.reachabilityFence(sink);
+        Reference.reachabilityFence(timers);
+        return report;
+    }
+
+    /**
+     * Requests a full GC and returns the heap still in use after it, summed over the heap memory pools.
+     */
+    private static long liveHeapBytes() {
+        System.gc();
+        return heapAfterLastCollection();
+    }
+
+    /**
+     * Returns the heap in use right after the most recent collection of each heap memory pool.
+     * Unlike {@code totalMemory() - freeMemory()}, this leaves out garbage the collector has not reclaimed yet,
+     * so samples taken during the run compare with the baseline taken by {@link #liveHeapBytes()}.
+     */
+    private static long heapAfterLastCollection() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                used += pool.getCollectionUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Applies one trace event through {@link SystemTrayNotification}.
+     */
+    private void applyTraceEvent(TraceEvent event, Map<String, VirtualAlarmScheduler.VirtualTimer> timers, SimulationReport report) {
+        report.traceEvents++;
+        VirtualAlarmScheduler.VirtualTimer timer = timers.get(event.getId());
+        switch (event.getType()) {
+            case CREATE -> {
+                if (timer != null) {
+                    timer.stop();
+                }
+                VirtualAlarmScheduler.VirtualTimer created = (VirtualAlarmScheduler.VirtualTimer) SystemTrayNotification.scheduleAlarm(
+                        new AlarmSounds(event.getSoundSequenceNumber()),
+                        event.getId(), event.getAlarmTitle(), event.getAlarmMessage(),
+                        event.getDelay(), event.getIsRepeating()
+                );
+                created.setCoalesce(isCoalescing);
+                timers.put(event.getId(), created);
+                report.notificationsCreated++;
+            }
+            case CANCEL -> {
+                if (timer == null) {
+                    report.ignoredEvents++;
+                } else {
+                    timer.stop();
+                    timers.remove(event.getId());
+                    report.notificationsCancelled++;
+                }
+            }
+            case FIRE -> {
+                if (timer == null) {
+                    report.ignoredEvents++;
+                } else {
+                    report.recordedFires++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays a trace file and prints the report.
+     * <p>
+     * Usage: {@code AlarmSimulation <trace-file> [dispatch-cost-ms] [max-pending] [run-until-ms]}
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the trace file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: AlarmSimulation <trace-file> [dispatch-cost-ms] [max-pending] [run-until-ms]");
+            return;
+        }
+        NotificationTrace trace = NotificationTrace.load(Path.of(args[0]));
+        int dispatchCostMillis = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int maxPendingAlarms = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long runUntilMillis = args.length > 3 ? Long.parseLong(args[3]) : trace.getEndTimeMillis();
+
+        AlarmSimulation simulation = new AlarmSimulation(dispatchCostMillis, true, maxPendingAlarms);
+        System.out.println(simulation.run(trace, runUntilMillis));
+    }
+}
@@ -0,0 +1,124 @@
+package com.notifications.system_tray_notifications.simulation;
+
+import com.notifications.system_tray_notifications.basics.AlarmSounds;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code NotificationTrace} class holds a recorded sequence of notification creates, cancels and fires.
+ * <p>
+ * A trace file is plain text with one event per line. Blank lines and lines starting with {@code #} are ignored.
+ * <pre>
+ * # time_ms,create,id,delay_ms,repeating,sound,title,message
+ * 0,create,battery,60000,true,3,Battery,Battery is low
+ * 60000,fire,battery
+ * 90000,cancel,battery
+ * </pre>
+ * The message is the last field, so it may contain commas. Times may use any time base, such as milliseconds
+ * since the epoch, and the replay starts at the first event. Events must be in time order, delays must not be
+ * negative, and sound numbers must name one of the {@link AlarmSounds} sounds.
+ * <p>
+ * Fire events record alarms that a notification's timer fired in production. The replay does not repeat them,
+ * because its own timers fire the alarms; it only counts them, so recorded and simulated fires can be compared.
+ *
+ * @author Muath Hassoun
+ */
+public class NotificationTrace {
+    private final List<TraceEvent> events;
+
+    /**
+     * Constructs a trace from events that are already in time order.
+     *
+     * @param events The recorded events.
+     * @throws IllegalArgumentException If the events are not in time order.
+     */
+    public NotificationTrace(List<TraceEvent> events) {
+        for (int i = 1; i < events.size(); i++) {
+            if (events.get(i).getTimeMillis() < events.get(i - 1).getTimeMillis()) {
+                throw new IllegalArgumentException("Trace events are not in time order at event " + (i + 1));
+            }
+        }
+        this.events = new ArrayList<>(events);
+    }
+
+    /**
+     * Reads a trace file.
+     *
+     * @param path The path of the trace file.
+     * @return The parsed trace.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a line is malformed or events are not in time order.
+     */
+    public static NotificationTrace load(Path path) throws IOException {
+        List<TraceEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                events.add(parseLine(line, lineNumber));
+            }
+        }
+        return new NotificationTrace(events);
+    }
+
+    /**
+     * Parses one non-empty, non-comment line of a trace file.
+     */
+    private static TraceEvent parseLine(String line, int lineNumber) {
+        String[] fields = line.split(",", 8);
+        try {
+            long timeMillis = Long.parseLong(fields[0].trim());
+            TraceEvent.Type type = TraceEvent.Type.valueOf(fields[1].trim().toUpperCase());
+            String id = fields[2].trim();
+            if (type != TraceEvent.Type.CREATE) {
+                return new TraceEvent(timeMillis, type, id, 0, false, 0, null, null);
+            }
+            if (fields.length < 8) {
+                throw new IllegalArgumentException("A create event needs 8 fields");
+            }
+            int delay = Integer.parseInt(fields[3].trim());
+            if (delay < 0) {
+                throw new IllegalArgumentException("Invalid delay: " + delay);
+            }
+            int soundSequenceNumber = Integer.parseInt(fields[5].trim());
+            if (AlarmSounds.getSoundNameByIndex(soundSequenceNumber) == null) {
+                throw new IllegalArgumentException("Invalid sound sequence number: " + soundSequenceNumber);
+            }
+            return new TraceEvent(
+                    timeMillis, type, id,
+                    delay,
+                    Boolean.parseBoolean(fields[4].trim()),
+                    soundSequenceNumber,
+                    fields[6].trim(), fields[7].trim()
+            );
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid trace line " + lineNumber + ": " + line, e);
+        }
+    }
+
+    /**
+     * @return The events of the trace, in time order.
+     */
+    public List<TraceEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * @return The time of the last event, or {@code 0} if the trace is empty.
+     */
+    public long getEndTimeMillis() {
+        return events.isEmpty() ? 0 : events.get(events.size() - 1).getTimeMillis();
+    }
+}
@@ -0,0 +1,54 @@
+package com.notifications.system_tray_notifications.simulation;
+
+import com.notifications.system_tray_notifications.system_tray.AlarmSink;
+
+import java.awt.TrayIcon;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code RecordingAlarmSink} class stands in for the speakers and the system tray during a simulation.
+ * <p>
+ * It only counts what would have been played and displayed, so its memory stays constant
+ * no matter how many alarms are replayed.
+ *
+ * @author Muath Hassoun
+ */
+public class RecordingAlarmSink implements AlarmSink {
+    private long soundsPlayed;
+    private long messagesDisplayed;
+    private final Map<String, Long> soundsPlayedByName = new HashMap<>();
+
+    @Override
+    public void playSound(String fileName) {
+        soundsPlayed++;
+        soundsPlayedByName.merge(fileName, 1L, Long::sum);
+    }
+
+    @Override
+    public void displayMessage(String appTitle, String title, String message, TrayIcon.MessageType type) {
+        messagesDisplayed++;
+    }
+
+    /**
+     * @return The number of sounds that would have been played.
+     */
+    public long getSoundsPlayed() {
+        return soundsPlayed;
+    }
+
+    /**
+     * @return The number of tray messages that would have been displayed.
+     */
+    public long getMessagesDisplayed() {
+        return messagesDisplayed;
+    }
+
+    /**
+     * @return The number of times each sound would have been played, by file name.
+     */
+    public Map<String, Long> getSoundsPlayedByName() {
+        return new TreeMap<>(soundsPlayedByName);
+    }
+}
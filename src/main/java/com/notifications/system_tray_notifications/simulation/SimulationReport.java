@@ -0,0 +1,210 @@
+package com.notifications.system_tray_notifications.simulation;
+
+/**
+ * The {@code SimulationReport} class holds the results of one {@link AlarmSimulation} run.
+ *
+ * @author Muath Hassoun
+ */
+public class SimulationReport {
+    long simulatedMillis;
+    long wallNanos;
+    long traceEvents;
+    long ignoredEvents;
+    long notificationsCreated;
+    long notificationsCancelled;
+    long alarmsFired;
+    long recordedFires;
+    long alarmsCoalesced;
+    long alarmsDropped;
+    long alarmsStillPending;
+    long soundsPlayed;
+    long messagesDisplayed;
+    double meanLagMillis;
+    long medianLagMillis;
+    long p99LagMillis;
+    long maxLagMillis;
+    int peakActiveNotifications;
+    int peakPendingAlarms;
+    long peakHeapGrowthBytes;
+    long retainedHeapGrowthBytes;
+
+    SimulationReport() {
+    }
+
+    /**
+     * @return The virtual time covered by the run, in milliseconds.
+     */
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    /**
+     * @return The real time the run took, in nanoseconds.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return How many times faster than real time the trace was replayed.
+     */
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : simulatedMillis * 1_000_000.0 / wallNanos;
+    }
+
+    /**
+     * @return The number of trace events replayed.
+     */
+    public long getTraceEvents() {
+        return traceEvents;
+    }
+
+    /**
+     * @return The number of cancel and fire events that referred to an unknown notification.
+     */
+    public long getIgnoredEvents() {
+        return ignoredEvents;
+    }
+
+    /**
+     * @return The number of notifications created.
+     */
+    public long getNotificationsCreated() {
+        return notificationsCreated;
+    }
+
+    /**
+     * @return The number of notifications cancelled.
+     */
+    public long getNotificationsCancelled() {
+        return notificationsCancelled;
+    }
+
+    /**
+     * @return The number of alarms dispatched.
+     */
+    public long getAlarmsFired() {
+        return alarmsFired;
+    }
+
+    /**
+     * @return The number of fire events in the trace for known notifications. They are not replayed;
+     *         compare them with {@link #getAlarmsFired()}.
+     */
+    public long getRecordedFires() {
+        return recordedFires;
+    }
+
+    /**
+     * @return The number of timer expirations merged into an alarm that was still pending.
+     */
+    public long getAlarmsCoalesced() {
+        return alarmsCoalesced;
+    }
+
+    /**
+     * @return The number of alarms dropped because the queue was full or their timer was stopped before dispatch.
+     */
+    public long getAlarmsDropped() {
+        return alarmsDropped;
+    }
+
+    /**
+     * @return The number of alarms still waiting for the dispatcher when the run stopped.
+     */
+    public long getAlarmsStillPending() {
+        return alarmsStillPending;
+    }
+
+    /**
+     * @return The number of sounds the recording sink received.
+     */
+    public long getSoundsPlayed() {
+        return soundsPlayed;
+    }
+
+    /**
+     * @return The number of tray messages the recording sink received.
+     */
+    public long getMessagesDisplayed() {
+        return messagesDisplayed;
+    }
+
+    /**
+     * @return The mean delay between an alarm becoming due and being dispatched, in milliseconds.
+     */
+    public double getMeanLagMillis() {
+        return meanLagMillis;
+    }
+
+    /**
+     * @return The median fire lag in milliseconds.
+     */
+    public long getMedianLagMillis() {
+        return medianLagMillis;
+    }
+
+    /**
+     * @return The 99th percentile fire lag in milliseconds.
+     */
+    public long getP99LagMillis() {
+        return p99LagMillis;
+    }
+
+    /**
+     * @return The largest fire lag in milliseconds.
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * @return The largest number of notification timers running at the same time.
+     */
+    public int getPeakActiveNotifications() {
+        return peakActiveNotifications;
+    }
+
+    /**
+     * @return The largest number of alarms waiting for the dispatcher at the same time.
+     */
+    public int getPeakPendingAlarms() {
+        return peakPendingAlarms;
+    }
+
+    /**
+     * @return The largest growth of the heap left in use after a collection during the run, in bytes.
+     *         Only collections the JVM ran on its own are sampled, so short peaks between two collections are missed;
+     *         garbage produced by the run is not counted.
+     */
+    public long getPeakHeapGrowthBytes() {
+        return peakHeapGrowthBytes;
+    }
+
+    /**
+     * @return The heap growth still retained after the run, in bytes, measured after a GC request. The figure is
+     *         reliable with the G1 and parallel collectors; the serial collector's pool statistics can be off by
+     *         a few hundred kilobytes.
+     */
+    public long getRetainedHeapGrowthBytes() {
+        return retainedHeapGrowthBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Simulated %d ms in %.1f ms (%.0fx real time), %d trace events (%d ignored)%n"
+                        + "Notifications: %d created, %d cancelled, peak %d active%n"
+                        + "Alarms: %d fired (%d recorded in the trace), %d coalesced, %d dropped, %d still pending, peak %d pending%n"
+                        + "Fire lag: mean %.1f ms, median %d ms, p99 %d ms, max %d ms%n"
+                        + "Output: %d sounds, %d messages%n"
+                        + "Heap growth after GC: peak %d bytes, retained %d bytes",
+                simulatedMillis, wallNanos / 1_000_000.0, getSpeedup(), traceEvents, ignoredEvents,
+                notificationsCreated, notificationsCancelled, peakActiveNotifications,
+                alarmsFired, recordedFires, alarmsCoalesced, alarmsDropped, alarmsStillPending, peakPendingAlarms,
+                meanLagMillis, medianLagMillis, p99LagMillis, maxLagMillis,
+                soundsPlayed, messagesDisplayed,
+                peakHeapGrowthBytes, retainedHeapGrowthBytes
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.notifications.system_tray_notifications.simulation;
+
+/**
+ * The {@code TraceEvent} class is one recorded action in a {@link NotificationTrace}.
+ * <p>
+ * A {@link Type#CREATE} event carries the settings of the notification, like {@code CreateTrayIcon} does;
+ * {@link Type#CANCEL} and {@link Type#FIRE} events only refer to an existing notification by its id.
+ *
+ * @author Muath Hassoun
+ */
+public class TraceEvent {
+
+    /**
+     * The kinds of recorded actions.
+     */
+    public enum Type {
+        /** A notification is created and its timer is started. */
+        CREATE,
+        /** A notification's timer is stopped. */
+        CANCEL,
+        /** A notification's timer fired. Only counted by the replay, whose own timers fire the alarms. */
+        FIRE
+    }
+
+    private final long timeMillis;
+    private final Type type;
+    private final String id;
+    private final int delay;
+    private final boolean isRepeating;
+    private final int soundSequenceNumber;
+    private final String alarmTitle;
+    private final String alarmMessage;
+
+    /**
+     * Constructs a new {@code TraceEvent}.
+     *
+     * @param timeMillis          The time of the event in milliseconds, for example since the epoch.
+     * @param type                The kind of event.
+     * @param id                  The id of the notification the event applies to.
+     * @param delay               The timer delay in milliseconds (only used by {@link Type#CREATE}).
+     * @param isRepeating         Whether the timer repeats (only used by {@link Type#CREATE}).
+     * @param soundSequenceNumber The alarm sound number (only used by {@link Type#CREATE}).
+     * @param alarmTitle          The alarm title (only used by {@link Type#CREATE}).
+     * @param alarmMessage        The alarm message (only used by {@link Type#CREATE}).
+     */
+    public TraceEvent(
+            long timeMillis, Type type, String id,
+            int delay, boolean isRepeating, int soundSequenceNumber,
+            String alarmTitle, String alarmMessage
+    ) {
+        this.timeMillis = timeMillis;
+        this.type = type;
+        this.id = id;
+        this.delay = delay;
+        this.isRepeating = isRepeating;
+        this.soundSequenceNumber = soundSequenceNumber;
+        this.alarmTitle = alarmTitle;
+        this.alarmMessage = alarmMessage;
+    }
+
+    /**
+     * @return The time of the event in milliseconds, for example since the epoch.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * @return The kind of event.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The id of the notification the event applies to.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The timer delay in milliseconds.
+     */
+    public int getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return Whether the timer repeats.
+     */
+    public boolean getIsRepeating() {
+        return isRepeating;
+    }
+
+    /**
+     * @return The alarm sound number.
+     */
+    public int getSoundSequenceNumber() {
+        return soundSequenceNumber;
+    }
+
+    /**
+     * @return The alarm title.
+     */
+    public String getAlarmTitle() {
+        return alarmTitle;
+    }
+
+    /**
+     * @return The alarm message.
+     */
+    public String getAlarmMessage() {
+        return alarmMessage;
+    }
+}
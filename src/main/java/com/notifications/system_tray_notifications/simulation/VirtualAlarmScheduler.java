@@ -0,0 +1,360 @@
+package com.notifications.system_tray_notifications.simulation;
+
+import com.notifications.system_tray_notifications.system_tray.AlarmScheduler;
+import com.notifications.system_tray_notifications.system_tray.AlarmTimer;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code VirtualAlarmScheduler} class runs {@link AlarmTimer}s on a {@link VirtualClock}.
+ * <p>
+ * Timers follow the rules of {@code javax.swing.Timer}: the first event fires after the delay, repeating timers
+ * fire again every delay, and a coalescing timer skips an expiration while its previous event is still pending.
+ * Stopping a timer cancels its pending events. Expired timers queue their events for a single dispatcher,
+ * standing in for the Swing event dispatch thread, which handles one event at a time and is busy for
+ * {@code dispatchCostMillis} after each one. When more than {@code maxPendingEvents} are waiting, new events are
+ * dropped.
+ * <p>
+ * Nothing runs on its own: {@link #runNextEvent()} advances the clock to the next expiration or dispatch and
+ * handles it. The scheduler counts fired, coalesced and dropped events and records the lag between an event
+ * becoming due and being dispatched.
+ *
+ * @author Muath Hassoun
+ */
+public class VirtualAlarmScheduler implements AlarmScheduler {
+    /**
+     * Returned by {@link #getNextEventMillis()} when nothing is scheduled.
+     */
+    public static final long NO_EVENT = Long.MAX_VALUE;
+
+    private static final Comparator<Expiration> BY_TIME = (a, b) -> {
+        int byTime = Long.compare(a.timeMillis, b.timeMillis);
+        return byTime != 0 ? byTime : Long.compare(a.sequence, b.sequence);
+    };
+
+    private final VirtualClock clock;
+    private final int dispatchCostMillis;
+    private final int maxPendingEvents;
+    private final PriorityQueue<Expiration> expirations = new PriorityQueue<>(BY_TIME);
+    private final ArrayDeque<PendingEvent> pendingEvents = new ArrayDeque<>();
+    private final LagHistogram lags = new LagHistogram();
+    private long busyUntil;
+    private long expirationSequence;
+
+    private int runningTimers;
+    private int peakRunningTimers;
+    private int peakPendingEvents;
+    private long eventsFired;
+    private long eventsCoalesced;
+    private long eventsDropped;
+
+    /**
+     * Constructs a new {@code VirtualAlarmScheduler}.
+     *
+     * @param clock              The clock the timers run on.
+     * @param dispatchCostMillis The time (in milliseconds) the dispatcher is busy after handling one event.
+     * @param maxPendingEvents   The number of events that may wait for the dispatcher; further events are dropped.
+     * @throws IllegalArgumentException If the dispatch cost is negative or the pending limit is not positive.
+     */
+    public VirtualAlarmScheduler(VirtualClock clock, int dispatchCostMillis, int maxPendingEvents) {
+        if (dispatchCostMillis < 0 || maxPendingEvents <= 0) {
+            throw new IllegalArgumentException("Invalid scheduler settings.");
+        }
+        this.clock = clock;
+        this.dispatchCostMillis = dispatchCostMillis;
+        this.maxPendingEvents = maxPendingEvents;
+        this.busyUntil = clock.currentTimeMillis();
+    }
+
+    @Override
+    public VirtualTimer createTimer(int delay, boolean isRepeating, ActionListener listener) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Invalid timer delay: " + delay);
+        }
+        return new VirtualTimer(delay, isRepeating, listener);
+    }
+
+    /**
+     * @return The virtual time of the next expiration or dispatch, or {@link #NO_EVENT} if there is none.
+     */
+    public long getNextEventMillis() {
+        Expiration next = expirations.peek();
+        while (next != null && !next.isCurrent()) {
+            expirations.poll();
+            next = expirations.peek();
+        }
+        long expirationTime = next != null ? next.timeMillis : NO_EVENT;
+        long dispatchTime = pendingEvents.isEmpty() ? NO_EVENT : Math.max(busyUntil, clock.currentTimeMillis());
+        return Math.min(expirationTime, dispatchTime);
+    }
+
+    /**
+     * Advances the clock to the next expiration or dispatch and handles it.
+     * Expirations are handled before a dispatch due at the same time.
+     *
+     * @return {@code false} if nothing was scheduled.
+     */
+    public boolean runNextEvent() {
+        long now = getNextEventMillis();
+        if (now == NO_EVENT) {
+            return false;
+        }
+        clock.advanceTo(now);
+        Expiration next = expirations.peek();
+        if (next != null && next.timeMillis == now) {
+            expirations.poll();
+            next.timer.expire(now);
+        } else {
+            dispatch(now);
+        }
+        return true;
+    }
+
+    private void queueEvent(PendingEvent event) {
+        if (pendingEvents.size() >= maxPendingEvents) {
+            eventsDropped++;
+            return;
+        }
+        pendingEvents.add(event);
+        event.timer.pendingFires++;
+        peakPendingEvents = Math.max(peakPendingEvents, pendingEvents.size());
+    }
+
+    private void dispatch(long now) {
+        PendingEvent event = pendingEvents.poll();
+        event.timer.pendingFires--;
+        if (event.run != event.timer.run) {
+            eventsDropped++;
+            return;
+        }
+        lags.record(now - event.dueMillis);
+        eventsFired++;
+        busyUntil = now + dispatchCostMillis;
+        event.timer.listener.actionPerformed(new ActionEvent(event.timer, ActionEvent.ACTION_PERFORMED, null, now, 0));
+    }
+
+    /**
+     * @return The number of timers currently running.
+     */
+    public int getRunningTimers() {
+        return runningTimers;
+    }
+
+    /**
+     * @return The largest number of timers running at the same time.
+     */
+    public int getPeakRunningTimers() {
+        return peakRunningTimers;
+    }
+
+    /**
+     * @return The number of events waiting for the dispatcher.
+     */
+    public int getPendingEvents() {
+        return pendingEvents.size();
+    }
+
+    /**
+     * @return The largest number of events waiting for the dispatcher at the same time.
+     */
+    public int getPeakPendingEvents() {
+        return peakPendingEvents;
+    }
+
+    /**
+     * @return The number of events dispatched.
+     */
+    public long getEventsFired() {
+        return eventsFired;
+    }
+
+    /**
+     * @return The number of expirations merged into an event that was still pending.
+     */
+    public long getEventsCoalesced() {
+        return eventsCoalesced;
+    }
+
+    /**
+     * @return The number of events dropped because the queue was full or their timer was stopped.
+     */
+    public long getEventsDropped() {
+        return eventsDropped;
+    }
+
+    /**
+     * @return The mean delay between an event becoming due and being dispatched, in milliseconds.
+     */
+    public double getMeanLagMillis() {
+        return lags.mean();
+    }
+
+    /**
+     * Returns a fire lag percentile.
+     *
+     * @param fraction The percentile as a fraction, for example {@code 0.99}.
+     * @return The lag in milliseconds.
+     */
+    public long getLagPercentileMillis(double fraction) {
+        return lags.percentile(fraction);
+    }
+
+    /**
+     * @return The largest fire lag in milliseconds.
+     */
+    public long getMaxLagMillis() {
+        return lags.max;
+    }
+
+    /**
+     * A timer running on the scheduler's virtual clock.
+     */
+    public final class VirtualTimer implements AlarmTimer {
+        private final int delay;
+        private final boolean isRepeating;
+        private final ActionListener listener;
+        private boolean isCoalescing = true;
+        private boolean isRunning;
+        private int pendingFires;
+        /**
+         * Incremented on every start and stop, so expirations and events of an earlier run are ignored.
+         */
+        private long run;
+
+        private VirtualTimer(int delay, boolean isRepeating, ActionListener listener) {
+            this.delay = delay;
+            this.isRepeating = isRepeating;
+            this.listener = listener;
+        }
+
+        @Override
+        public void start() {
+            if (isRunning) {
+                return;
+            }
+            isRunning = true;
+            run++;
+            runningTimers++;
+            peakRunningTimers = Math.max(peakRunningTimers, runningTimers);
+            schedule(clock.currentTimeMillis() + delay);
+        }
+
+        @Override
+        public void stop() {
+            // Like javax.swing.Timer, stopping cancels pending events even if the timer has already finished.
+            run++;
+            if (isRunning) {
+                isRunning = false;
+                runningTimers--;
+            }
+        }
+
+        @Override
+        public boolean isRunning() {
+            return isRunning;
+        }
+
+        @Override
+        public void setCoalesce(boolean isCoalescing) {
+            this.isCoalescing = isCoalescing;
+        }
+
+        @Override
+        public boolean isCoalesce() {
+            return isCoalescing;
+        }
+
+        private void schedule(long timeMillis) {
+            expirations.add(new Expiration(this, run, timeMillis, expirationSequence++));
+        }
+
+        private void expire(long now) {
+            if (isCoalescing && pendingFires > 0) {
+                eventsCoalesced++;
+            } else {
+                queueEvent(new PendingEvent(this, run, now));
+            }
+            if (isRepeating) {
+                // A zero delay would expire forever at the same virtual instant; javax.swing.Timer spins instead.
+                schedule(now + Math.max(1, delay));
+            } else {
+                isRunning = false;
+                runningTimers--;
+            }
+        }
+    }
+
+    /**
+     * A scheduled expiration of a timer.
+     */
+    private static final class Expiration {
+        private final VirtualTimer timer;
+        private final long run;
+        private final long timeMillis;
+        private final long sequence;
+
+        Expiration(VirtualTimer timer, long run, long timeMillis, long sequence) {
+            this.timer = timer;
+            this.run = run;
+            this.timeMillis = timeMillis;
+            this.sequence = sequence;
+        }
+
+        boolean isCurrent() {
+            return timer.isRunning && timer.run == run;
+        }
+    }
+
+    /**
+     * An event waiting for the dispatcher.
+     */
+    private static final class PendingEvent {
+        private final VirtualTimer timer;
+        private final long run;
+        private final long dueMillis;
+
+        PendingEvent(VirtualTimer timer, long run, long dueMillis) {
+            this.timer = timer;
+            this.run = run;
+            this.dueMillis = dueMillis;
+        }
+    }
+
+    /**
+     * Fire lag histogram with one-millisecond buckets up to {@link #LIMIT}, so its size does not depend on the trace.
+     */
+    private static final class LagHistogram {
+        private static final int LIMIT = 60_000;
+        private final long[] counts = new long[LIMIT + 1];
+        private long total;
+        private long sum;
+        private long max;
+
+        void record(long lagMillis) {
+            counts[(int) Math.min(lagMillis, LIMIT)]++;
+            total++;
+            sum += lagMillis;
+            max = Math.max(max, lagMillis);
+        }
+
+        double mean() {
+            return total == 0 ? 0 : sum / (double) total;
+        }
+
+        long percentile(double fraction) {
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int lag = 0; lag < counts.length; lag++) {
+                seen += counts[lag];
+                if (seen >= target && seen > 0) {
+                    return lag == LIMIT ? max : lag;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.notifications.system_tray_notifications.simulation;
+
+/**
+ * The {@code VirtualClock} class is a manually advanced clock used by {@link AlarmSimulation}.
+ * Time only moves when the simulation advances it, so hours of alarms can be replayed in milliseconds.
+ *
+ * @author Muath Hassoun
+ */
+public class VirtualClock {
+    private long currentTimeMillis;
+
+    /**
+     * Constructs a clock that starts at the given time.
+     *
+     * @param startTimeMillis The initial virtual time in milliseconds.
+     */
+    public VirtualClock(long startTimeMillis) {
+        this.currentTimeMillis = startTimeMillis;
+    }
+
+    /**
+     * @return The current virtual time in milliseconds.
+     */
+    public long currentTimeMillis() {
+        return currentTimeMillis;
+    }
+
+    /**
+     * Moves the clock forward to the given time.
+     *
+     * @param timeMillis The new virtual time in milliseconds.
+     * @throws IllegalArgumentException If the time is before the current time.
+     */
+    public void advanceTo(long timeMillis) {
+        if (timeMillis < currentTimeMillis) {
+            throw new IllegalArgumentException("Cannot move the clock backwards: " + timeMillis + " < " + currentTimeMillis);
+        }
+        currentTimeMillis = timeMillis;
+    }
+}
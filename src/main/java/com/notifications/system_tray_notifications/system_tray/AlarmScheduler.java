@@ -0,0 +1,24 @@
+package com.notifications.system_tray_notifications.system_tray;
+
+import java.awt.event.ActionListener;
+
+/**
+ * The {@code AlarmScheduler} interface creates the timers that fire notifications.
+ * <p>
+ * {@link SystemTrayNotification} uses a {@link SwingAlarmScheduler} by default. Another scheduler can be
+ * installed through {@link SystemTrayNotification#scheduler}, for example one that runs on virtual time.
+ *
+ * @author Muath Hassoun
+ */
+public interface AlarmScheduler {
+
+    /**
+     * Creates a timer that is not started yet. Timers coalesce events by default, like {@code javax.swing.Timer}.
+     *
+     * @param delay       The delay in milliseconds before the first event and between repeated events.
+     * @param isRepeating {@code true} if the timer should repeat, {@code false} if it should fire only once.
+     * @param listener    The action listener that handles timer events.
+     * @return The new timer.
+     */
+    AlarmTimer createTimer(int delay, boolean isRepeating, ActionListener listener);
+}
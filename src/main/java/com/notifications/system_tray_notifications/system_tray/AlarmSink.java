@@ -0,0 +1,33 @@
+package com.notifications.system_tray_notifications.system_tray;
+
+import java.awt.TrayIcon;
+
+/**
+ * The {@code AlarmSink} interface receives the output of a fired alarm: the sound to play
+ * and the message to show in the system tray.
+ * <p>
+ * {@link SystemTrayNotification} plays the sound and displays the tray message by default.
+ * Another sink can be installed through {@link SystemTrayNotification#alarmSink}, for example
+ * to record alarms instead of playing them.
+ *
+ * @author Muath Hassoun
+ */
+public interface AlarmSink {
+
+    /**
+     * Plays the alarm sound.
+     *
+     * @param fileName The name of the sound file in the resources' folder.
+     */
+    void playSound(String fileName);
+
+    /**
+     * Displays the alarm message.
+     *
+     * @param appTitle The title of the application that owns the alarm.
+     * @param title    The title of the message.
+     * @param message  The message text.
+     * @param type     The type of the message.
+     */
+    void displayMessage(String appTitle, String title, String message, TrayIcon.MessageType type);
+}
@@ -0,0 +1,37 @@
+package com.notifications.system_tray_notifications.system_tray;
+
+/**
+ * The {@code AlarmTimer} interface is a timer created by an {@link AlarmScheduler}.
+ * It offers the parts of {@code javax.swing.Timer} that {@link SystemTrayNotification} uses.
+ *
+ * @author Muath Hassoun
+ */
+public interface AlarmTimer {
+
+    /**
+     * Starts the timer. The first event fires after the timer's delay.
+     */
+    void start();
+
+    /**
+     * Stops the timer and cancels any event that has not been delivered yet.
+     */
+    void stop();
+
+    /**
+     * @return {@code true} if the timer is running, {@code false} otherwise.
+     */
+    boolean isRunning();
+
+    /**
+     * Sets whether events that pile up while an earlier one is still pending are merged into one.
+     *
+     * @param isCoalescing {@code true} to merge pending events.
+     */
+    void setCoalesce(boolean isCoalescing);
+
+    /**
+     * @return {@code true} if the timer is coalescing events, {@code false} otherwise.
+     */
+    boolean isCoalesce();
+}
@@ -0,0 +1,45 @@
+package com.notifications.system_tray_notifications.system_tray;
+
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
+
+/**
+ * The {@code SwingAlarmScheduler} class creates timers backed by {@link javax.swing.Timer},
+ * so notifications fire on the Swing event dispatch thread in real time.
+ *
+ * @author Muath Hassoun
+ */
+public class SwingAlarmScheduler implements AlarmScheduler {
+
+    @Override
+    public AlarmTimer createTimer(int delay, boolean isRepeating, ActionListener listener) {
+        Timer timer = new Timer(delay, listener);
+        timer.setRepeats(isRepeating);
+        return new AlarmTimer() {
+            @Override
+            public void start() {
+                timer.start();
+            }
+
+            @Override
+            public void stop() {
+                timer.stop();
+            }
+
+            @Override
+            public boolean isRunning() {
+                return timer.isRunning();
+            }
+
+            @Override
+            public void setCoalesce(boolean isCoalescing) {
+                timer.setCoalesce(isCoalescing);
+            }
+
+            @Override
+            public boolean isCoalesce() {
+                return timer.isCoalesce();
+            }
+        };
+    }
+}
@@ -25,15 +25,17 @@
 package com.notifications.system_tray_notifications.system_tray;
 import static com.notifications.system_tray_notifications.influence.DisplayMessages.printErrorMessage;
 import com.notifications.system_tray_notifications.basics.AlarmSounds;
+import com.notifications.system_tray_notifications.basics.HistoryEntry;
+import com.notifications.system_tray_notifications.basics.NotificationHistory;
 import com.notifications.system_tray_notifications.basics.Notifications;
 import com.notifications.system_tray_notifications.influence.PlaySounds;
 
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.io.InputStream;
+import java.util.List;
 import javax.imageio.ImageIO;
 import javax.swing.*;
-import javax.swing.Timer;
 
 /**
  * This class handles the creation of a system tray notification with customizable options.
@@ -65,9 +67,17 @@ public class SystemTrayNotification{
     public static TrayIcon trayIcon;
 
     /**
-     * The Swing Timer instance.
+     * The timer of the most recently scheduled notification.
      */
-    private static Timer timer;
+    private static AlarmTimer timer;
+    
+    /**
+     * The {@link AlarmScheduler} that creates notification timers.
+     * <p>
+     * By default, timers are {@code javax.swing.Timer} instances running in real time.
+     * Replace it to run notifications on another clock, for example in a simulation.
+     */
+    public static AlarmScheduler scheduler = new SwingAlarmScheduler();
     
     /**
      * Indicates whether the tray icon should be automatically removed after the alert is shown.
@@ -87,6 +97,46 @@ public class SystemTrayNotification{
      */
     public static SystemTray systemTray;
     
+    /**
+     * The default number of notifications kept in {@link #history}.
+     */
+    public static final int DEFAULT_HISTORY_CAPACITY = 500;
+    
+    /**
+     * The number of notifications listed by the "History" menu item.
+     */
+    public static final int HISTORY_DIALOG_LIMIT = 50;
+    
+    /**
+     * The most recent notifications shown in the system tray.
+     * <p>
+     * Every fired alarm is recorded here by the default {@link #alarmSink}. The history has a fixed size,
+     * so the oldest notifications are overwritten once it is full. Replace it with a
+     * {@link NotificationHistory} backed by a file to keep the history across restarts.
+     */
+    public static NotificationHistory history = new NotificationHistory(DEFAULT_HISTORY_CAPACITY);
+    
+    /**
+     * The {@link AlarmSink} that receives every fired alarm.
+     * <p>
+     * By default, it plays the alarm sound with {@link PlaySounds#playCompressedSound(String)} and shows the message
+     * in the tray after recording it in {@link #history}. Replace it to redirect alarms elsewhere, for example in a simulation.
+     */
+    public static AlarmSink alarmSink = new AlarmSink() {
+        @Override
+        public void playSound(String fileName) {
+            PlaySounds.playCompressedSound(fileName);
+        }
+        
+        @Override
+        public void displayMessage(String appTitle, String title, String message, TrayIcon.MessageType type) {
+            history.add(appTitle, title, message, type);
+            if (trayIcon != null) {
+                trayIcon.displayMessage(title, message, type);
+            }
+        }
+    };
+    
     /**
      * Initializes and displays a system tray notification with a custom or default icon,
      * alarm sound, message behavior, and optional taskbar integration.
@@ -144,7 +194,7 @@ public class SystemTrayNotification{
                 trayIcon = new TrayIcon(image, notification_object.getAppTitle());
             }
             trayIcon.setImageAutoSize(true);
-            trayIcon.setPopupMenu(createPopupMenu());
+            trayIcon.setPopupMenu(createPopupMenu(notification_object.getAppTitle()));
             trayIcon.addActionListener(
                     _ -> {
                         message = notification_object.getAlarmMessage();
@@ -152,8 +202,9 @@ public class SystemTrayNotification{
                     }
             );
             
-            setupSystemTray(
+            scheduleAlarm(
                     alarm_object,
+                    notification_object.getAppTitle(),
                     notification_object.getAlarmTitle(),
                     notification_object.getAlarmMessage(),
                     notification_object.getDuration(),
@@ -180,6 +231,7 @@ public class SystemTrayNotification{
      *     <li><b>Hide Icon:</b> Removes the tray icon from the system tray.</li>
      *     <li><b>Mute Sound:</b> Stops the alarm timer and disables sound temporarily.</li>
      *     <li><b>Restart Timer:</b> Restarts the alarm timer to resume notifications.</li>
+     *     <li><b>History:</b> Shows the most recent notifications of this application.</li>
      *     <li><b>About:</b> Displays an informational dialog about the application.</li>
      *     <li><b>Exit:</b> Terminates the application immediately.</li>
      * </ul>
@@ -187,9 +239,10 @@ public class SystemTrayNotification{
      * This menu enhances user interaction by allowing control over the tray behavior,
      * sound settings, and access to basic application information.
      *
+     * @param appTitle The title of the application whose notifications the history item lists
      * @return A {@code PopupMenu} object with predefined tray actions.
      */
-    private static PopupMenu createPopupMenu() {
+    private static PopupMenu createPopupMenu(String appTitle) {
         PopupMenu popup = new PopupMenu();
         
         MenuItem hideIconItem = new MenuItem("Hide Icon");
@@ -216,12 +269,16 @@ public class SystemTrayNotification{
             trayIcon.displayMessage("Timer Restarted", "Alarm timer is running again.", TrayIcon.MessageType.INFO);
         });
         
+        MenuItem historyItem = new MenuItem("History");
+        historyItem.addActionListener(_ -> showHistoryDialog(appTitle));
+        
         MenuItem exitItem = new MenuItem("Stop Program");
         exitItem.addActionListener(_ -> System.exit(0));
         
         popup.add(hideIconItem);
         popup.add(muteItem);
         popup.add(restartTimerItem);
+        popup.add(historyItem);
         popup.addSeparator();
         popup.add(aboutItem);
         popup.addSeparator();
@@ -230,22 +287,58 @@ public class SystemTrayNotification{
     }
     
     /**
-     * Configures the system tray icon to display notifications.
+     * Schedules a notification with {@link #scheduler} and starts its timer.
      * The notification can optionally repeat based on the specified duration.
+     * The new timer becomes the one controlled by {@link #startTimer()} and {@link #stopTimer()}.
      *
      * @param alarm_object The `AlarmSounds` object to retrieve sound details
+     * @param appTitle The title of the application, recorded with each alarm in the history
      * @param title The title for the notification and dialog
      * @param message The message to be shown in the notification and dialog
      * @param duration The time interval (in milliseconds) for how long the notification will show
      * @param isRepeating A boolean value indicating whether the notification should repeat
+     * @return The started timer of the notification
      */
-    private static void setupSystemTray(AlarmSounds alarm_object, String title, String message, int duration, boolean isRepeating) {
-        timer = new Timer(duration, _ -> {
-            PlaySounds.playSound(alarm_object.getSoundFileName());
-            trayIcon.displayMessage(title, message, TrayIcon.MessageType.INFO);
-        });
-        timer.setRepeats(isRepeating);
+    public static AlarmTimer scheduleAlarm(
+            AlarmSounds alarm_object, String appTitle, String title, String message, int duration, boolean isRepeating
+    ) {
+        timer = scheduler.createTimer(duration, isRepeating, _ -> fireAlarm(alarm_object, appTitle, title, message));
         timer.start();
+        return timer;
+    }
+    
+    /**
+     * Fires an alarm: plays its sound and displays its message through {@link #alarmSink}.
+     * This is the action run by the notification timer each time it expires.
+     *
+     * @param alarm_object The `AlarmSounds` object to retrieve sound details
+     * @param appTitle The title of the application that owns the notification
+     * @param title The title for the notification
+     * @param message The message to be shown in the notification
+     */
+    public static void fireAlarm(AlarmSounds alarm_object, String appTitle, String title, String message) {
+        alarmSink.playSound(alarm_object.getSoundFileName());
+        alarmSink.displayMessage(appTitle, title, message, TrayIcon.MessageType.INFO);
+    }
+    
+    /**
+     * Shows a dialog listing the {@value #HISTORY_DIALOG_LIMIT} most recent notifications of an application, newest first.
+     *
+     * @param appTitle The title of the application
+     */
+    private static void showHistoryDialog(String appTitle) {
+        List<HistoryEntry> entries = history.query(appTitle, Long.MIN_VALUE, Long.MAX_VALUE, null, HISTORY_DIALOG_LIMIT);
+        if (entries.isEmpty()) {
+            JOptionPane.showMessageDialog(null, "No notifications yet.", "History", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (HistoryEntry entry : entries) {
+            text.append(entry).append('\n');
+        }
+        JTextArea area = new JTextArea(text.toString(), 15, 60);
+        area.setEditable(false);
+        JOptionPane.showMessageDialog(null, new JScrollPane(area), "History", JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
@@ -260,11 +353,27 @@ public class SystemTrayNotification{
         if (timer != null) {
             timer.stop();
         }
-        timer = new Timer(delay, listener);
-        timer.setRepeats(isRepeating);
+        timer = scheduler.createTimer(delay, isRepeating, listener);
         timer.setCoalesce(true);
     }
 
+    /**
+     * @return The timer controlled by {@link #startTimer()} and {@link #stopTimer()}, or {@code null} if none exists.
+     */
+    public static AlarmTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Replaces the timer controlled by {@link #startTimer()} and {@link #stopTimer()}.
+     * The previous timer is not stopped.
+     *
+     * @param timer The new timer, or {@code null}.
+     */
+    public static void setTimer(AlarmTimer timer) {
+        SystemTrayNotification.timer = timer;
+    }
+
     /**
      * Starts the timer if it has been initialized.
      * If the timer is not initialized, an error message is printed to the error stream.
@@ -0,0 +1,113 @@
+package com.notifications.system_tray_notifications.basics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CompressedSound}.
+ */
+public class CompressedSoundTest {
+    private static final AudioFormat STEREO = new AudioFormat(22050, 16, 2, true, false);
+
+    private static CompressedSound encode(byte[] pcm, AudioFormat format) throws IOException {
+        return CompressedSound.encode(new AudioInputStream(
+                new ByteArrayInputStream(pcm), format, pcm.length / format.getFrameSize()));
+    }
+
+    private static void putSample(byte[] pcm, int index, int sample) {
+        pcm[index * 2] = (byte) sample;
+        pcm[index * 2 + 1] = (byte) (sample >> 8);
+    }
+
+    @Test
+    public void stereoToneWithPartialLastBlockRoundTrips() throws IOException {
+        int frames = CompressedSound.FRAMES_PER_BLOCK * 3 + 123;
+        byte[] pcm = new byte[frames * 4];
+        for (int i = 0; i < frames; i++) {
+            putSample(pcm, i * 2, (int) (12000 * Math.sin(i * 0.05)));
+            putSample(pcm, i * 2 + 1, (int) (8000 * Math.cos(i * 0.031)));
+        }
+
+        CompressedSound sound = encode(pcm, STEREO);
+
+        assertEquals(frames, sound.getFrameCount());
+        assertEquals(4, sound.getBlockCount());
+        assertArrayEquals(pcm, sound.decodeAll());
+        assertTrue(sound.getCompressedByteSize() < sound.getRawByteSize() / 2);
+    }
+
+    @Test
+    public void blocksDecodeIntoReusableBuffer() throws IOException {
+        int frames = CompressedSound.FRAMES_PER_BLOCK + 10;
+        byte[] pcm = new byte[frames * 4];
+        new Random(7).nextBytes(pcm);
+
+        CompressedSound sound = encode(pcm, STEREO);
+        byte[] buffer = new byte[sound.getMaxBlockByteSize()];
+
+        assertEquals(buffer.length, sound.decodeBlock(0, buffer));
+        assertEquals(10 * 4, sound.decodeBlock(1, buffer));
+        for (int i = 0; i < 10 * 4; i++) {
+            assertEquals(pcm[CompressedSound.FRAMES_PER_BLOCK * 4 + i], buffer[i]);
+        }
+    }
+
+    @Test
+    public void extremeSamplesRoundTrip() throws IOException {
+        int frames = 5000;
+        byte[] pcm = new byte[frames * 4];
+        for (int i = 0; i < frames * 2; i++) {
+            putSample(pcm, i, i % 3 == 0 ? Short.MIN_VALUE : Short.MAX_VALUE);
+        }
+
+        assertArrayEquals(pcm, encode(pcm, STEREO).decodeAll());
+    }
+
+    @Test
+    public void noiseIsStoredVerbatimWithoutGrowing() throws IOException {
+        byte[] pcm = new byte[10001 * 4];
+        new Random(1).nextBytes(pcm);
+
+        CompressedSound sound = encode(pcm, STEREO);
+
+        assertArrayEquals(pcm, sound.decodeAll());
+        // Only the block index and one flag byte per block may be added to raw PCM.
+        assertTrue(sound.getCompressedByteSize() <= sound.getRawByteSize() + sound.getBlockCount() * 5L + 4);
+    }
+
+    @Test
+    public void bigEndianInputIsConverted() throws IOException {
+        AudioFormat bigEndian = new AudioFormat(22050, 16, 1, true, true);
+        byte[] pcm = new byte[3000 * 2];
+        new Random(3).nextBytes(pcm);
+        byte[] expected = new byte[pcm.length];
+        for (int i = 0; i < pcm.length; i += 2) {
+            expected[i] = pcm[i + 1];
+            expected[i + 1] = pcm[i];
+        }
+
+        CompressedSound sound = encode(pcm, bigEndian);
+
+        assertTrue(!sound.getFormat().isBigEndian());
+        assertArrayEquals(expected, sound.decodeAll());
+    }
+
+    @Test
+    public void emptySoundHasNoBlocks() throws IOException {
+        CompressedSound sound = encode(new byte[0], STEREO);
+
+        assertEquals(0, sound.getBlockCount());
+        assertEquals(0, sound.getRawByteSize());
+        assertEquals(0.0, sound.getDurationSeconds());
+        assertArrayEquals(new byte[0], sound.decodeAll());
+    }
+}
@@ -0,0 +1,160 @@
+package com.notifications.system_tray_notifications.basics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.TrayIcon;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link NotificationHistory}.
+ */
+public class NotificationHistoryTest {
+
+    private static Path createTempFile() throws IOException {
+        Path file = Files.createTempFile("notification-history", ".bin");
+        // A mapped file cannot be deleted on every platform while the mapping is alive.
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    @Test
+    public void oldestNotificationsAreOverwritten() {
+        NotificationHistory history = new NotificationHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.add(i * 1000L, "App", "Alarm " + i, "Message " + i, TrayIcon.MessageType.INFO);
+        }
+
+        List<HistoryEntry> entries = history.getRecent(10);
+
+        assertEquals(3, history.size());
+        assertEquals(3, entries.size());
+        assertEquals(5, entries.get(0).getSequence());
+        assertEquals("Alarm 5", entries.get(0).getAlarmTitle());
+        assertEquals("Message 4", entries.get(1).getAlarmMessage());
+        assertEquals(3000, entries.get(2).getTimeMillis());
+        assertEquals(2, history.getRecent(2).size());
+    }
+
+    @Test
+    public void queryFiltersByAppTitleTimeAndType() {
+        NotificationHistory history = new NotificationHistory(10);
+        history.add(100, "Mail", "New mail", "1 unread", TrayIcon.MessageType.INFO);
+        history.add(200, "Backup", "Backup failed", "Disk full", TrayIcon.MessageType.ERROR);
+        history.add(300, "Mail", "New mail", "2 unread", TrayIcon.MessageType.INFO);
+        history.add(400, "Mail", "Quota", "Mailbox almost full", TrayIcon.MessageType.WARNING);
+        history.add(500, null, null, null, null);
+
+        List<HistoryEntry> mail = history.query("Mail", Long.MIN_VALUE, Long.MAX_VALUE, null, 10);
+        assertEquals(3, mail.size());
+        assertEquals("Mailbox almost full", mail.get(0).getAlarmMessage());
+        assertEquals("1 unread", mail.get(2).getAlarmMessage());
+
+        List<HistoryEntry> range = history.query(null, 200, 400, null, 10);
+        assertEquals(3, range.size());
+        assertEquals(400, range.get(0).getTimeMillis());
+        assertEquals(200, range.get(2).getTimeMillis());
+
+        List<HistoryEntry> info = history.query("Mail", 150, Long.MAX_VALUE, TrayIcon.MessageType.INFO, 10);
+        assertEquals(1, info.size());
+        assertEquals("2 unread", info.get(0).getAlarmMessage());
+
+        List<HistoryEntry> untitled = history.query(null, 500, 500, TrayIcon.MessageType.NONE, 10);
+        assertEquals(1, untitled.size());
+        assertEquals("", untitled.get(0).getAppTitle());
+
+        assertEquals(0, history.query("Calendar", Long.MIN_VALUE, Long.MAX_VALUE, null, 10).size());
+        assertEquals(0, history.query("Mai", Long.MIN_VALUE, Long.MAX_VALUE, null, 10).size());
+    }
+
+    @Test
+    public void longTextIsCutAtCharacterBoundary() {
+        NotificationHistory history = new NotificationHistory(2);
+        String appTitle = "a" + "ä".repeat(20);
+        history.add(1, appTitle, "ä".repeat(100), "ä".repeat(100), TrayIcon.MessageType.INFO);
+
+        HistoryEntry entry = history.getRecent(1).get(0);
+
+        assertEquals("a" + "ä".repeat(15), entry.getAppTitle());
+        assertEquals("ä".repeat(32), entry.getAlarmTitle());
+        assertEquals("ä".repeat(64), entry.getAlarmMessage());
+        assertEquals(1, history.query(appTitle, Long.MIN_VALUE, Long.MAX_VALUE, null, 10).size());
+        assertEquals(0, history.query(entry.getAppTitle(), Long.MIN_VALUE, Long.MAX_VALUE, null, 10).size());
+    }
+
+    @Test
+    public void mappedFileIsReopened() throws IOException {
+        Path file = createTempFile();
+        NotificationHistory history = new NotificationHistory(4, file);
+        for (int i = 1; i <= 6; i++) {
+            history.add(i, "App", "Alarm " + i, "Message " + i, TrayIcon.MessageType.WARNING);
+        }
+        history.close();
+
+        NotificationHistory reopened = new NotificationHistory(4, file);
+
+        assertEquals(4, reopened.size());
+        assertEquals("Alarm 6", reopened.getRecent(1).get(0).getAlarmTitle());
+        assertEquals(TrayIcon.MessageType.WARNING, reopened.getRecent(1).get(0).getType());
+        reopened.add(7, "App", "Alarm 7", "Message 7", TrayIcon.MessageType.INFO);
+        List<HistoryEntry> entries = reopened.getRecent(10);
+        assertEquals(4, entries.size());
+        assertEquals(7, entries.get(0).getSequence());
+        assertEquals("Alarm 4", entries.get(3).getAlarmTitle());
+    }
+
+    @Test
+    public void mappedFileWithAnotherCapacityIsReset() throws IOException {
+        Path file = createTempFile();
+        NotificationHistory history = new NotificationHistory(4, file);
+        history.add(1, "App", "Alarm", "Message", TrayIcon.MessageType.INFO);
+        history.close();
+
+        NotificationHistory smaller = new NotificationHistory(2, file);
+
+        assertEquals(0, smaller.size());
+        assertTrue(smaller.getRecent(10).isEmpty());
+        assertEquals(16 + 2L * NotificationHistory.RECORD_SIZE, Files.size(file));
+    }
+
+    @Test
+    public void foreignFileIsReset() throws IOException {
+        Path file = createTempFile();
+        Files.write(file, new byte[16 + 2 * NotificationHistory.RECORD_SIZE]);
+
+        NotificationHistory history = new NotificationHistory(2, file);
+
+        assertEquals(0, history.size());
+        history.add(1, "App", "Alarm", "Message", TrayIcon.MessageType.INFO);
+        history.close();
+        assertEquals(1, new NotificationHistory(2, file).size());
+    }
+
+    @Test
+    public void closedHistoryKeepsItsFileAndRejectsUse() throws IOException {
+        Path file = createTempFile();
+        NotificationHistory history = new NotificationHistory(4, file);
+        history.add(1, "App", "Alarm", "Message", TrayIcon.MessageType.INFO);
+
+        history.close();
+        history.close();
+
+        assertThrows(IllegalStateException.class, () -> history.add(2, "App", "Alarm", "Message", TrayIcon.MessageType.INFO));
+        assertThrows(IllegalStateException.class, () -> history.getRecent(1));
+        try (NotificationHistory reopened = new NotificationHistory(4, file)) {
+            assertEquals("Alarm", reopened.getRecent(1).get(0).getAlarmTitle());
+        }
+    }
+
+    @Test
+    public void invalidCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationHistory(0));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationHistory(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,162 @@
+package com.notifications.system_tray_notifications.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.notifications.system_tray_notifications.system_tray.AlarmScheduler;
+import com.notifications.system_tray_notifications.system_tray.AlarmSink;
+import com.notifications.system_tray_notifications.system_tray.SystemTrayNotification;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AlarmSimulation} and {@link NotificationTrace}.
+ */
+public class AlarmSimulationTest {
+
+    private static TraceEvent create(long time, String id, int delay, boolean isRepeating) {
+        return new TraceEvent(time, TraceEvent.Type.CREATE, id, delay, isRepeating, 1, "Title", "Message");
+    }
+
+    private static TraceEvent event(long time, TraceEvent.Type type, String id) {
+        return new TraceEvent(time, type, id, 0, false, 0, null, null);
+    }
+
+    @Test
+    public void busyDispatcherCoalescesRepeatingTimer() {
+        // Expires every 100 ms; each dispatch keeps the dispatcher busy for 250 ms.
+        NotificationTrace trace = new NotificationTrace(List.of(create(0, "a", 100, true)));
+
+        SimulationReport report = new AlarmSimulation(250, true, 10).run(trace, 1000);
+
+        // Dispatched at 100, 350, 600 and 850 for expirations at 100, 200, 400 and 700.
+        assertEquals(4, report.getAlarmsFired());
+        // Expirations at 300, 500, 600, 800 and 1000 found an alarm still pending.
+        assertEquals(5, report.getAlarmsCoalesced());
+        assertEquals(0, report.getAlarmsDropped());
+        assertEquals(1, report.getAlarmsStillPending());
+        assertEquals(125.0, report.getMeanLagMillis());
+        assertEquals(200, report.getMaxLagMillis());
+        assertEquals(4, report.getSoundsPlayed());
+        assertEquals(4, report.getMessagesDisplayed());
+        assertEquals(1000, report.getSimulatedMillis());
+    }
+
+    @Test
+    public void fullQueueAndCancelledTimersDropAlarms() {
+        NotificationTrace trace = new NotificationTrace(List.of(
+                create(0, "a", 100, false),
+                create(0, "b", 100, false),
+                create(0, "c", 200, false),
+                event(300, TraceEvent.Type.CANCEL, "c"),
+                event(400, TraceEvent.Type.CANCEL, "unknown")
+        ));
+
+        SimulationReport report = new AlarmSimulation(1000, true, 1).run(trace, 2000);
+
+        // "b" finds the one-slot queue full; "c" is cancelled while waiting for the busy dispatcher.
+        assertEquals(1, report.getAlarmsFired());
+        assertEquals(2, report.getAlarmsDropped());
+        assertEquals(0, report.getAlarmsCoalesced());
+        assertEquals(1, report.getIgnoredEvents());
+        assertEquals(3, report.getNotificationsCreated());
+        assertEquals(1, report.getNotificationsCancelled());
+        assertEquals(3, report.getPeakActiveNotifications());
+    }
+
+    @Test
+    public void recordedFiresAreCountedButNotReplayed() {
+        NotificationTrace trace = new NotificationTrace(List.of(
+                create(0, "x", 100, true),
+                event(100, TraceEvent.Type.FIRE, "x"),
+                event(200, TraceEvent.Type.FIRE, "x"),
+                event(210, TraceEvent.Type.FIRE, "unknown")
+        ));
+
+        SimulationReport report = new AlarmSimulation(0, true, 10).run(trace, 250);
+
+        assertEquals(2, report.getAlarmsFired());
+        assertEquals(2, report.getRecordedFires());
+        assertEquals(1, report.getIgnoredEvents());
+        assertEquals(2, report.getSoundsPlayed());
+    }
+
+    @Test
+    public void epochTimestampsReportTheCoveredTime() {
+        long start = 1_700_000_000_000L;
+        NotificationTrace trace = new NotificationTrace(List.of(
+                create(start, "a", 300, true),
+                event(start + 1000, TraceEvent.Type.CANCEL, "a")
+        ));
+
+        SimulationReport report = new AlarmSimulation(0, true, 10).run(trace);
+
+        assertEquals(1000, report.getSimulatedMillis());
+        assertEquals(3, report.getAlarmsFired());
+        assertEquals(0, report.getMaxLagMillis());
+    }
+
+    @Test
+    public void negativeTimestampsAreReplayed() {
+        NotificationTrace trace = new NotificationTrace(List.of(
+                create(-500, "a", 100, false),
+                event(-5, TraceEvent.Type.CANCEL, "a")
+        ));
+
+        SimulationReport report = new AlarmSimulation(50, true, 10).run(trace);
+
+        assertEquals(495, report.getSimulatedMillis());
+        assertEquals(1, report.getAlarmsFired());
+        assertEquals(0, report.getMaxLagMillis());
+    }
+
+    @Test
+    public void runRestoresSinkAndScheduler() {
+        AlarmSink sink = SystemTrayNotification.alarmSink;
+        AlarmScheduler scheduler = SystemTrayNotification.scheduler;
+
+        new AlarmSimulation(0, true, 10).run(new NotificationTrace(List.of(create(0, "a", 10, true))), 100);
+
+        assertEquals(sink, SystemTrayNotification.alarmSink);
+        assertEquals(scheduler, SystemTrayNotification.scheduler);
+    }
+
+    @Test
+    public void traceFileIsParsed() throws IOException {
+        Path file = Files.createTempFile("trace", ".csv");
+        try {
+            Files.writeString(file, "# comment\n0,create,a,500,true,3,App,Low, very low\n\n700,cancel,a\n");
+
+            List<TraceEvent> events = NotificationTrace.load(file).getEvents();
+
+            assertEquals(2, events.size());
+            assertEquals("Low, very low", events.get(0).getAlarmMessage());
+            assertEquals(3, events.get(0).getSoundSequenceNumber());
+            assertEquals(TraceEvent.Type.CANCEL, events.get(1).getType());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void invalidSoundOrDelayIsRejected() throws IOException {
+        Path file = Files.createTempFile("trace", ".csv");
+        try {
+            for (String line : new String[] {"0,create,a,500,true,11,App,Msg", "0,create,a,500,true,0,App,Msg", "0,create,a,-1,true,1,App,Msg"}) {
+                Files.writeString(file, "0,create,ok,500,true,1,App,Msg\n" + line + "\n");
+
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> NotificationTrace.load(file));
+
+                assertTrue(e.getMessage().startsWith("Invalid trace line 2"));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}